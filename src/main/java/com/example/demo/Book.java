@@ -25,6 +25,11 @@ public class Book {
         this.author = author;
     }
 
+    Book(Long id, String title, String author) {
+        this(title, author);
+        this.id = id;
+    }
+
     public Long getId() {
         return id;
     }
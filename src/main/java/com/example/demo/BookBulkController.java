@@ -0,0 +1,44 @@
+package com.example.demo;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Massen-Aenderungen ueber Filterkriterien, siehe {@link BookBulkService}
+ */
+@RestController
+@ConditionalOnSingleDatabase
+@RequestMapping("/books")
+public class BookBulkController {
+
+    private final BookBulkService bulk;
+
+    public BookBulkController(BookBulkService bulk) {
+        this.bulk = bulk;
+    }
+
+    /**
+     * z.B. PATCH /books?author=Martin mit Body {"author": "Robert C. Martin"}
+     */
+    @PatchMapping
+    public BookBulkService.BulkResult update(@RequestParam(required = false) String title,
+                                             @RequestParam(required = false) String author,
+                                             @RequestBody Book changes) {
+        try {
+            return bulk.update(title, author, changes.getTitle(), changes.getAuthor());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @DeleteMapping
+    public BookBulkService.BulkResult delete(@RequestParam(required = false) String title,
+                                             @RequestParam(required = false) String author) {
+        try {
+            return bulk.delete(title, author);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
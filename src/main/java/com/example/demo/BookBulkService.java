@@ -0,0 +1,90 @@
+package com.example.demo;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Massen-Aenderungen ueber Filterkriterien (Titel und/oder Autor, exakter Vergleich).
+ *
+ * Die betroffenen Buecher werden nicht geladen: ueber Keyset-Paging werden nur ihre IDs
+ * blockweise in aufsteigender Reihenfolge ermittelt, je Block laeuft eine einzelne
+ * UPDATE- bzw. DELETE-Anweisung in einer eigenen, kurzen Transaktion.
+ * Danach werden Volltext-Index und Single-Flight vor dem Repository aktualisiert;
+ * der Index folgt dabei dem Stand der DB, nicht den angefragten Aenderungen.
+ */
+@Service
+@ConditionalOnSingleDatabase
+public class BookBulkService {
+
+    public record BulkResult(long affected) {
+    }
+
+    private final BookRepository repo;
+    private final BookReadCoalescer reads;
+    private final BookSearchIndex searchIndex;
+    private final int chunkSize;
+
+    public BookBulkService(BookRepository repo, BookReadCoalescer reads, BookSearchIndex searchIndex,
+                           @Value("${books.bulk.chunk-size:1000}") int chunkSize) {
+        this.repo = repo;
+        this.reads = reads;
+        this.searchIndex = searchIndex;
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkResult update(String title, String author, String newTitle, String newAuthor) {
+        requireFilter(title, author);
+        if (newTitle == null && newAuthor == null) {
+            throw new IllegalArgumentException("nothing to update: set title and/or author");
+        }
+        long affected = 0;
+        long afterId = 0;
+        List<Long> ids;
+        while (!(ids = nextChunk(afterId, title, author)).isEmpty()) {
+            affected += repo.updateByIds(ids, title, author, newTitle, newAuthor);
+            // Zeilen, die sich seit der ID-Abfrage geaendert haben, hat das UPDATE uebersprungen -
+            // der Index uebernimmt deshalb den tatsaechlichen Stand aus der DB
+            List<Book> current = repo.findAllById(ids);
+            searchIndex.addAll(current);
+            searchIndex.removeAll(missing(ids, current.stream().map(Book::getId).toList()));
+            reads.invalidate();
+            afterId = ids.get(ids.size() - 1);
+        }
+        return new BulkResult(affected);
+    }
+
+    public BulkResult delete(String title, String author) {
+        requireFilter(title, author);
+        long affected = 0;
+        long afterId = 0;
+        List<Long> ids;
+        while (!(ids = nextChunk(afterId, title, author)).isEmpty()) {
+            affected += repo.deleteByIds(ids, title, author);
+            searchIndex.removeAll(missing(ids, repo.findExistingIds(ids)));
+            reads.invalidate();
+            afterId = ids.get(ids.size() - 1);
+        }
+        return new BulkResult(affected);
+    }
+
+    private static List<Long> missing(List<Long> ids, List<Long> present) {
+        Set<Long> stillThere = new HashSet<>(present);
+        return ids.stream().filter(id -> !stillThere.contains(id)).toList();
+    }
+
+    private List<Long> nextChunk(long afterId, String title, String author) {
+        return repo.findIdsAfter(afterId, title, author, PageRequest.of(0, chunkSize));
+    }
+
+    /** ohne Filter wuerde der ganze Katalog geaendert bzw. geloescht */
+    private static void requireFilter(String title, String author) {
+        if (title == null && author == null) {
+            throw new IllegalArgumentException("at least one filter (title, author) is required");
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.demo;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 
@@ -8,24 +10,54 @@ import java.util.List;
 @RequestMapping("/books")
 public class BookController {
 
-    private final BookRepository repo;
+    /** mehr Treffer liefert die Volltextsuche nicht auf einmal */
+    static final int MAX_FULLTEXT_LIMIT = 100;
 
-    public BookController(BookRepository repo) {
-        this.repo = repo;
+    private final BookStore store;
+    private final BookReadCoalescer reads;
+    private final BookSearchIndex searchIndex;
+
+    public BookController(BookStore store, BookReadCoalescer reads, BookSearchIndex searchIndex) {
+        this.store = store;
+        this.reads = reads;
+        this.searchIndex = searchIndex;
     }
 
     @GetMapping
     public List<Book> getAll() {
-        return repo.findAll();
+        return reads.findAll();
     }
 
     @GetMapping("/{id}")
     Book byId(@PathVariable Long id) {
-        return repo.findById(id).orElseThrow();
+        return reads.findById(id).orElseThrow();
+    }
+
+    /**
+     * Kennzahlen, wie viele Lesezugriffe sich eine laufende Abfrage geteilt haben
+     */
+    @GetMapping("/coalescing")
+    public BookReadCoalescer.Stats coalescingStats() {
+        return reads.stats();
+    }
+
+    /**
+     * Volltextsuche ueber Titel und Autor, sortiert nach Relevanz (limit 1 bis MAX_FULLTEXT_LIMIT)
+     */
+    @GetMapping("/fulltext")
+    public List<Book> fulltext(@RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_FULLTEXT_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + MAX_FULLTEXT_LIMIT);
+        }
+        return searchIndex.search(q, limit);
     }
 
     @PostMapping
     public Book addBook(@RequestBody Book book) {
-        return repo.save(book);
+        Book saved = store.save(book);
+        searchIndex.add(saved);
+        reads.invalidate();
+        return saved;
     }
 }
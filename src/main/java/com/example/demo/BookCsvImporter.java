@@ -0,0 +1,357 @@
+package com.example.demo;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Massen-Import von Buechern aus einer CSV- oder TSV-Datei (Spalten: title, author).
+ *
+ * Die Datei wird in Bloecken gelesen, jeder Block parallel auf einem ForkJoinPool
+ * geparst und in einer Transaktion als ein JDBC-Batch gespeichert (JPA wuerde wegen
+ * GenerationType.IDENTITY jede Zeile einzeln einfuegen). Waehrend ein Block gespeichert wird,
+ * wird der naechste bereits geparst. Nach jedem gespeicherten Block steht der
+ * Checkpoint (Anzahl verarbeiteter Datenzeilen) fest; mit skip=checkpoint kann
+ * ein abgebrochener Import (aborted=true) fortgesetzt werden.
+ */
+@Service
+@ConditionalOnSingleDatabase
+public class BookCsvImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(BookCsvImporter.class);
+
+    /** nur so viele Zeilenfehler werden einzeln zurueckgemeldet, gezaehlt werden alle */
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    /** Laenge der Spalten title und author (JPA-Standard varchar(255)) */
+    static final int MAX_FIELD_LENGTH = 255;
+
+    public record RowError(long line, String message) {
+    }
+
+    /**
+     * @param aborted true, wenn die Datenbank einen Block abgelehnt hat und der Import
+     *                vor dem Dateiende aufgehoert hat; checkpoint zeigt auf den Anfang dieses Blocks
+     */
+    public record ImportResult(long rowsRead, long imported, long failed, long checkpoint, boolean aborted,
+                               List<RowError> errors) {
+    }
+
+    private record ParsedRow(long line, Book book, String error) {
+    }
+
+    private static final String INSERT = "insert into book (title, author) values (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BookSearchIndex searchIndex;
+    private final BookReadCoalescer reads;
+    private final Path importDir;
+    private final int chunkSize;
+    private final ForkJoinPool parserPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    public BookCsvImporter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                           BookSearchIndex searchIndex, BookReadCoalescer reads,
+                           @Value("${books.import.dir:import}") Path importDir,
+                           @Value("${books.import.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.searchIndex = searchIndex;
+        this.reads = reads;
+        this.importDir = importDir.toAbsolutePath().normalize();
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Prueft, ob die Datei im Import-Verzeichnis liegt und existiert
+     */
+    public Path resolve(String fileName) throws IOException {
+        Path file = importDir.resolve(fileName).normalize();
+        if (!file.startsWith(importDir)) {
+            throw new IllegalArgumentException("file must be inside the import directory: " + fileName);
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new NoSuchFileException(fileName);
+        }
+        return file;
+    }
+
+    /**
+     * Ein negativer Checkpoint wuerde alle weiteren Checkpoints verfaelschen
+     */
+    public static void checkSkip(long skip) {
+        if (skip < 0) {
+            throw new IllegalArgumentException("skip must not be negative: " + skip);
+        }
+    }
+
+    public ImportResult importFile(String fileName, long skip) throws IOException {
+        return importFile(fileName, skip, progress -> {
+        });
+    }
+
+    /**
+     * @param fileName   Dateiname relativ zum Import-Verzeichnis
+     * @param skip       Anzahl bereits importierter Datenzeilen (Checkpoint eines frueheren Laufs)
+     * @param onProgress wird nach jedem gespeicherten Block mit dem Zwischenstand aufgerufen
+     */
+    public ImportResult importFile(String fileName, long skip, Consumer<ImportResult> onProgress) throws IOException {
+        checkSkip(skip);
+        Path file = resolve(fileName);
+        char separator = fileName.toLowerCase(Locale.ROOT).endsWith(".tsv") ? '\t' : ',';
+
+        Progress progress = new Progress(skip, onProgress);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            long lineNo = 0;
+            long dataRows = 0;
+            List<String> chunk = new ArrayList<>(chunkSize);
+            long chunkFirstLine = 0;
+            ForkJoinTask<List<ParsedRow>> parsing = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (lineNo == 1 && isHeader(line, separator)) {
+                    continue;
+                }
+                dataRows++;
+                if (dataRows <= skip) {
+                    continue;
+                }
+                if (chunk.isEmpty()) {
+                    chunkFirstLine = lineNo;
+                }
+                chunk.add(line);
+                if (chunk.size() == chunkSize) {
+                    // naechsten Block parsen, waehrend der vorige gespeichert wird
+                    ForkJoinTask<List<ParsedRow>> next = parse(chunk, chunkFirstLine, separator);
+                    if (parsing != null && !store(parsing.join(), progress, fileName)) {
+                        next.cancel(true);
+                        return progress.toResult();
+                    }
+                    parsing = next;
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                ForkJoinTask<List<ParsedRow>> next = parse(chunk, chunkFirstLine, separator);
+                if (parsing != null && !store(parsing.join(), progress, fileName)) {
+                    next.cancel(true);
+                    return progress.toResult();
+                }
+                parsing = next;
+            }
+            if (parsing != null) {
+                store(parsing.join(), progress, fileName);
+            }
+        }
+        log.info("import of {} finished: {} imported, {} failed, checkpoint {}",
+                fileName, progress.imported, progress.failed, progress.checkpoint);
+        return progress.toResult();
+    }
+
+    private ForkJoinTask<List<ParsedRow>> parse(List<String> lines, long firstLine, char separator) {
+        return parserPool.submit(() -> IntStream.range(0, lines.size())
+                .parallel()
+                .mapToObj(i -> parseRow(lines.get(i), firstLine + i, separator))
+                .toList());
+    }
+
+    /**
+     * Speichert einen geparsten Block in einer Transaktion.
+     *
+     * @return false, wenn die Datenbank den Block abgelehnt hat; der Checkpoint
+     * zeigt dann auf den Anfang dieses Blocks
+     */
+    private boolean store(List<ParsedRow> rows, Progress progress, String fileName) {
+        List<Book> books = new ArrayList<>(rows.size());
+        List<RowError> rowErrors = new ArrayList<>();
+        for (ParsedRow row : rows) {
+            if (row.error() != null) {
+                rowErrors.add(new RowError(row.line(), row.error()));
+            } else if (row.book() != null) {
+                books.add(row.book());
+            }
+        }
+        try {
+            List<Book> saved = books.isEmpty() ? books : transactionTemplate.execute(status -> insert(books));
+            searchIndex.addAll(saved);
+            reads.invalidate();
+            progress.imported += saved.size();
+        } catch (DataAccessException e) {
+            log.warn("import of {} aborted at checkpoint {}", fileName, progress.checkpoint, e);
+            progress.addError(new RowError(rows.get(0).line(), "chunk rejected by database: " + e.getMessage()));
+            progress.aborted = true;
+            progress.report();
+            return false;
+        }
+        rowErrors.forEach(progress::addError);
+        progress.failed += rowErrors.size();
+        progress.rowsRead += rows.size();
+        progress.checkpoint += rows.size();
+        log.info("import of {}: {} rows read, {} imported, {} failed", fileName,
+                progress.rowsRead, progress.imported, progress.failed);
+        progress.report();
+        return true;
+    }
+
+    /**
+     * Ein JDBC-Batch fuer den ganzen Block; die erzeugten IDs kommen fuer den Volltext-Index zurueck
+     */
+    private List<Book> insert(List<Book> books) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setString(1, books.get(i).getTitle());
+                        ps.setString(2, books.get(i).getAuthor());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return books.size();
+                    }
+                }, keys);
+        List<Map<String, Object>> generated = keys.getKeyList();
+        List<Book> saved = new ArrayList<>(books.size());
+        for (int i = 0; i < books.size(); i++) {
+            Number id = (Number) generated.get(i).values().iterator().next();
+            saved.add(new Book(id.longValue(), books.get(i).getTitle(), books.get(i).getAuthor()));
+        }
+        return saved;
+    }
+
+    private static ParsedRow parseRow(String line, long lineNo, char separator) {
+        if (line.isBlank()) {
+            return new ParsedRow(lineNo, null, null);
+        }
+        List<String> fields;
+        try {
+            fields = splitLine(line, separator);
+        } catch (IllegalArgumentException e) {
+            return new ParsedRow(lineNo, null, e.getMessage());
+        }
+        if (fields.size() != 2) {
+            return new ParsedRow(lineNo, null, "expected 2 columns (title, author) but found " + fields.size());
+        }
+        String title = fields.get(0).trim();
+        String author = fields.get(1).trim();
+        if (title.isEmpty()) {
+            return new ParsedRow(lineNo, null, "title must not be empty");
+        }
+        // sonst lehnt die Datenbank den ganzen Block ab
+        if (title.length() > MAX_FIELD_LENGTH) {
+            return new ParsedRow(lineNo, null, "title longer than " + MAX_FIELD_LENGTH + " characters");
+        }
+        if (author.length() > MAX_FIELD_LENGTH) {
+            return new ParsedRow(lineNo, null, "author longer than " + MAX_FIELD_LENGTH + " characters");
+        }
+        return new ParsedRow(lineNo, new Book(title, author.isEmpty() ? null : author), null);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        parserPool.shutdown();
+    }
+
+    private static final class Progress {
+        long rowsRead;
+        long imported;
+        long failed;
+        long checkpoint;
+        boolean aborted;
+        final List<RowError> errors = new ArrayList<>();
+        final Consumer<ImportResult> onProgress;
+
+        Progress(long skip, Consumer<ImportResult> onProgress) {
+            this.checkpoint = skip;
+            this.onProgress = onProgress;
+        }
+
+        void report() {
+            onProgress.accept(toResult());
+        }
+
+        void addError(RowError error) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+
+        ImportResult toResult() {
+            return new ImportResult(rowsRead, imported, failed, checkpoint, aborted, List.copyOf(errors));
+        }
+    }
+
+    private static boolean isHeader(String line, char separator) {
+        List<String> fields;
+        try {
+            fields = splitLine(line, separator);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return fields.size() >= 2
+                && fields.get(0).trim().equalsIgnoreCase("title")
+                && fields.get(1).trim().equalsIgnoreCase("author");
+    }
+
+    /**
+     * Zerlegt eine Zeile; Felder koennen in doppelte Anfuehrungszeichen gesetzt werden,
+     * "" steht dann fuer ein einzelnes Anfuehrungszeichen.
+     */
+    static List<String> splitLine(String line, char separator) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
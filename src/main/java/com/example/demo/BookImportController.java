@@ -0,0 +1,45 @@
+package com.example.demo;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+
+/**
+ * Server-seitiger Import grosser Kataloge, siehe {@link BookCsvImporter} und {@link BookImportJobs}
+ */
+@RestController
+@ConditionalOnSingleDatabase
+@RequestMapping("/books/import")
+public class BookImportController {
+
+    private final BookImportJobs jobs;
+
+    public BookImportController(BookImportJobs jobs) {
+        this.jobs = jobs;
+    }
+
+    /**
+     * Startet den Import und antwortet sofort; Fortschritt ueber GET /books/import/{id}
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public BookImportJobs.Job importFile(@RequestParam String file,
+                                         @RequestParam(defaultValue = "0") long skip) throws IOException {
+        try {
+            return jobs.start(file, skip);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (NoSuchFileException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "no such import file: " + file);
+        }
+    }
+
+    @GetMapping("/{id}")
+    public BookImportJobs.Job status(@PathVariable long id) {
+        return jobs.find(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "no such import job: " + id));
+    }
+}
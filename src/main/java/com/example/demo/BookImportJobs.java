@@ -0,0 +1,80 @@
+package com.example.demo;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fuehrt Importe im Hintergrund aus, damit ein grosser Katalog keine minutenlange
+ * HTTP-Anfrage braucht. Der Zwischenstand jedes Auftrags kann abgefragt werden.
+ * Importe laufen nacheinander - die Datenbank ist ohnehin der Engpass.
+ */
+@Service
+@ConditionalOnSingleDatabase
+public class BookImportJobs {
+
+    private static final Logger log = LoggerFactory.getLogger(BookImportJobs.class);
+
+    public enum State { RUNNING, DONE, FAILED }
+
+    public record Job(long id, String file, State state, BookCsvImporter.ImportResult progress, String error) {
+    }
+
+    private final BookCsvImporter importer;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor();
+    private final AtomicLong ids = new AtomicLong();
+    private final Map<Long, Job> jobs = new ConcurrentHashMap<>();
+
+    public BookImportJobs(BookCsvImporter importer) {
+        this.importer = importer;
+    }
+
+    /**
+     * Prueft Datei und Checkpoint sofort und startet dann den Import im Hintergrund.
+     * Bricht der Import ab, endet der Auftrag mit FAILED; progress.checkpoint ist dann
+     * der skip-Wert zum Fortsetzen.
+     */
+    public Job start(String file, long skip) throws IOException {
+        BookCsvImporter.checkSkip(skip);
+        importer.resolve(file);
+        long id = ids.incrementAndGet();
+        Job job = new Job(id, file, State.RUNNING,
+                new BookCsvImporter.ImportResult(0, 0, 0, skip, false, List.of()), null);
+        jobs.put(id, job);
+        runner.submit(() -> {
+            try {
+                BookCsvImporter.ImportResult result = importer.importFile(file, skip,
+                        progress -> jobs.put(id, new Job(id, file, State.RUNNING, progress, null)));
+                if (result.aborted()) {
+                    jobs.put(id, new Job(id, file, State.FAILED, result,
+                            "import aborted, resume with skip=" + result.checkpoint()));
+                } else {
+                    jobs.put(id, new Job(id, file, State.DONE, result, null));
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("import job {} for {} failed", id, file, e);
+                jobs.put(id, new Job(id, file, State.FAILED, jobs.get(id).progress(), e.getMessage()));
+            }
+        });
+        return job;
+    }
+
+    public Optional<Job> find(long id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        runner.shutdownNow();
+    }
+}
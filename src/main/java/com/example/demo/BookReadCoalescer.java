@@ -0,0 +1,99 @@
+package com.example.demo;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-Flight vor dem {@link BookStore}: gleichzeitige, identische Lesezugriffe
+ * teilen sich eine laufende DB-Abfrage und bekommen alle deren Ergebnis.
+ * Pro Schluessel laeuft damit hoechstens eine Abfrage gleichzeitig.
+ *
+ * Es wird nichts zwischengespeichert - sobald die Abfrage fertig ist, loest der
+ * naechste Aufruf wieder eine neue aus. Die Ergebnisse werden von mehreren
+ * Aufrufern geteilt und duerfen daher nicht veraendert werden.
+ */
+@Component
+public class BookReadCoalescer {
+
+    public record Stats(long executed, long coalesced, int inFlight) {
+    }
+
+    private record ById(Long id) {
+    }
+
+    private static final Object ALL = new Object();
+
+    private final BookStore store;
+    private final ConcurrentMap<Object, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public BookReadCoalescer(BookStore store) {
+        this.store = store;
+    }
+
+    public List<Book> findAll() {
+        return coalesce(ALL, () -> Collections.unmodifiableList(store.findAll()));
+    }
+
+    public Optional<Book> findById(Long id) {
+        return coalesce(new ById(id), () -> store.findById(id));
+    }
+
+    /**
+     * Nach Schreibzugriffen: neue Aufrufer haengen sich nicht mehr an Abfragen an,
+     * die vor der Aenderung gestartet wurden
+     */
+    public void invalidate() {
+        inFlight.clear();
+    }
+
+    public Stats stats() {
+        return new Stats(executed.sum(), coalesced.sum(), inFlight.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T coalesce(Object key, Supplier<T> query) {
+        CompletableFuture<T> own = new CompletableFuture<>();
+        CompletableFuture<?> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            coalesced.increment();
+            return (T) await(running);
+        }
+        executed.increment();
+        try {
+            T result = query.get();
+            own.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    private static Object await(CompletableFuture<?> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            // Fehler der geteilten Abfrage unveraendert an alle Wartenden weitergeben
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,7 +1,43 @@
 package com.example.demo;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface BookRepository extends JpaRepository<Book, Long> {
-}
 
+    /**
+     * Keyset-Paging ueber die IDs der Buecher, die zum Filter passen (null = beliebig)
+     */
+    @Query("select b.id from Book b where b.id > :afterId"
+            + " and (:title is null or b.title = :title) and (:author is null or b.author = :author)"
+            + " order by b.id")
+    List<Long> findIdsAfter(@Param("afterId") long afterId, @Param("title") String title,
+                            @Param("author") String author, Pageable page);
+
+    @Query("select b.id from Book b where b.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Setzt Titel und/oder Autor (null = unveraendert) in einer einzigen UPDATE-Anweisung
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Book b set b.title = coalesce(:newTitle, b.title), b.author = coalesce(:newAuthor, b.author)"
+            + " where b.id in :ids"
+            + " and (:title is null or b.title = :title) and (:author is null or b.author = :author)")
+    int updateByIds(@Param("ids") Collection<Long> ids, @Param("title") String title, @Param("author") String author,
+                    @Param("newTitle") String newTitle, @Param("newAuthor") String newAuthor);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Book b where b.id in :ids"
+            + " and (:title is null or b.title = :title) and (:author is null or b.author = :author)")
+    int deleteByIds(@Param("ids") Collection<Long> ids, @Param("title") String title, @Param("author") String author);
+}
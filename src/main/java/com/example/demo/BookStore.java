@@ -0,0 +1,17 @@
+package com.example.demo;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Ablage der Buecher hinter /books: eine Datenbank ({@link JpaBookStore}) oder,
+ * sobald books.shards.urls gesetzt ist, mehrere Shards ({@link ShardedBookStore})
+ */
+public interface BookStore {
+
+    Book save(Book book);
+
+    Optional<Book> findById(Long id);
+
+    List<Book> findAll();
+}
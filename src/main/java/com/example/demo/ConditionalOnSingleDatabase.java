@@ -0,0 +1,18 @@
+package com.example.demo;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Bean nur ohne Sharding (books.shards.urls nicht gesetzt): sie arbeitet direkt auf der
+ * Haupt-Datenbank und wuerde an den Shards vorbei schreiben, siehe {@link ShardingConfig}
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@ConditionalOnExpression("'${books.shards.urls:}'.isEmpty()")
+public @interface ConditionalOnSingleDatabase {
+}
@@ -0,0 +1,35 @@
+package com.example.demo;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Standard ohne Sharding: alle Buecher in der Haupt-Datenbank ueber das {@link BookRepository}
+ */
+@Component
+@ConditionalOnSingleDatabase
+public class JpaBookStore implements BookStore {
+
+    private final BookRepository repo;
+
+    public JpaBookStore(BookRepository repo) {
+        this.repo = repo;
+    }
+
+    @Override
+    public Book save(Book book) {
+        return repo.save(book);
+    }
+
+    @Override
+    public Optional<Book> findById(Long id) {
+        return repo.findById(id);
+    }
+
+    @Override
+    public List<Book> findAll() {
+        return repo.findAll();
+    }
+}
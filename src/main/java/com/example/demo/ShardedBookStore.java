@@ -0,0 +1,181 @@
+package com.example.demo;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Buecher verteilt auf mehrere Datenbanken (Shards), Zuordnung ueber einen Hash der ID.
+ * Ersetzt den {@link JpaBookStore} hinter /books, sobald books.shards.urls gesetzt ist;
+ * jedes addBook schreibt damit nur in einen Shard.
+ *
+ * IDs werden ohne Abstimmung zwischen den Shards im Prozess erzeugt (Snowflake-Schema:
+ * Zeitstempel, Worker-ID, Zaehler) und sind damit zeitlich aufsteigend.
+ * findById fragt genau einen Shard, findAll und findByAuthor fragen alle Shards parallel
+ * und mischen die nach ID sortierten Teilergebnisse (k-Wege-Merge).
+ */
+public class ShardedBookStore implements BookStore {
+
+    private static final String SCHEMA = "create table if not exists book"
+            + " (id bigint primary key, title varchar(255), author varchar(255))";
+    private static final String COLUMNS = "select id, title, author from book";
+
+    private static final RowMapper<Book> BOOK_ROW =
+            (rs, rowNum) -> new Book(rs.getLong("id"), rs.getString("title"), rs.getString("author"));
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedBookStore.class);
+
+    private final List<DataSource> dataSources;
+    private final List<JdbcTemplate> shards;
+    private final IdGenerator ids;
+    private final ExecutorService fanOut;
+
+    public ShardedBookStore(List<DataSource> dataSources, int workerId) {
+        if (dataSources.isEmpty()) {
+            throw new IllegalArgumentException("at least one shard is required");
+        }
+        this.dataSources = List.copyOf(dataSources);
+        this.shards = dataSources.stream().map(JdbcTemplate::new).toList();
+        this.ids = new IdGenerator(workerId);
+        this.fanOut = Executors.newFixedThreadPool(shards.size());
+        shards.forEach(shard -> shard.execute(SCHEMA));
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    int shardOf(long id) {
+        // Zaehler und Zeitstempel stehen in verschiedenen Bits - erst mischen, dann verteilen
+        return Math.floorMod(Long.hashCode(id * 0x9E3779B97F4A7C15L), shards.size());
+    }
+
+    @Override
+    public Book save(Book book) {
+        Book stored = new Book(ids.next(), book.getTitle(), book.getAuthor());
+        shards.get(shardOf(stored.getId())).update("insert into book (id, title, author) values (?, ?, ?)",
+                stored.getId(), stored.getTitle(), stored.getAuthor());
+        return stored;
+    }
+
+    @Override
+    public Optional<Book> findById(Long id) {
+        return shards.get(shardOf(id)).query(COLUMNS + " where id = ?", BOOK_ROW, id).stream().findFirst();
+    }
+
+    @Override
+    public List<Book> findAll() {
+        return fanOutAndMerge(shard -> shard.query(COLUMNS + " order by id", BOOK_ROW));
+    }
+
+    public List<Book> findByAuthor(String author) {
+        return fanOutAndMerge(shard -> shard.query(COLUMNS + " where author = ? order by id", BOOK_ROW, author));
+    }
+
+    private List<Book> fanOutAndMerge(Function<JdbcTemplate, List<Book>> query) {
+        List<CompletableFuture<List<Book>>> parts = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> query.apply(shard), fanOut))
+                .toList();
+        List<List<Book>> sorted = parts.stream().map(CompletableFuture::join).toList();
+        return merge(sorted);
+    }
+
+    /**
+     * k-Wege-Merge: die Teillisten sind bereits nach ID sortiert, der Heap haelt je Liste
+     * nur die Position des naechsten Elements
+     */
+    static List<Book> merge(List<List<Book>> sorted) {
+        record Cursor(List<Book> books, int pos) {
+            Book head() {
+                return books.get(pos);
+            }
+        }
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(Math.max(1, sorted.size()),
+                Comparator.comparing((Cursor c) -> c.head().getId()));
+        int total = 0;
+        for (List<Book> part : sorted) {
+            total += part.size();
+            if (!part.isEmpty()) {
+                heads.add(new Cursor(part, 0));
+            }
+        }
+        List<Book> merged = new ArrayList<>(total);
+        while (!heads.isEmpty()) {
+            Cursor next = heads.poll();
+            merged.add(next.head());
+            if (next.pos() + 1 < next.books().size()) {
+                heads.add(new Cursor(next.books(), next.pos() + 1));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Stoppt die Abfrage-Threads und schliesst die Verbindungspools der Shards
+     */
+    @PreDestroy
+    void shutdown() {
+        fanOut.shutdown();
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("could not close shard data source", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 41 Bit Millisekunden seit EPOCH, 10 Bit Worker-ID, 12 Bit Zaehler je Millisekunde.
+     * Mehrere Instanzen der Anwendung brauchen unterschiedliche Worker-IDs.
+     */
+    static final class IdGenerator {
+
+        private static final long EPOCH = 1_704_067_200_000L; // 2024-01-01T00:00:00Z
+        private static final int WORKER_BITS = 10;
+        private static final int SEQUENCE_BITS = 12;
+        private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+        private final long workerId;
+        private long lastMillis = -1;
+        private long sequence;
+
+        IdGenerator(int workerId) {
+            if (workerId < 0 || workerId >= 1 << WORKER_BITS) {
+                throw new IllegalArgumentException("worker id must be between 0 and " + ((1 << WORKER_BITS) - 1));
+            }
+            this.workerId = workerId;
+        }
+
+        synchronized long next() {
+            // bei zurueckgestellter Uhr auf dem letzten Zeitstempel weiterzaehlen
+            long now = Math.max(System.currentTimeMillis(), lastMillis);
+            if (now == lastMillis) {
+                sequence = (sequence + 1) & MAX_SEQUENCE;
+                if (sequence == 0) {
+                    // Zaehler dieser Millisekunde erschoepft - naechste Millisekunde vorwegnehmen
+                    now = lastMillis + 1;
+                }
+            } else {
+                sequence = 0;
+            }
+            lastMillis = now;
+            return ((now - EPOCH) << (WORKER_BITS + SEQUENCE_BITS)) | (workerId << SEQUENCE_BITS) | sequence;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.demo;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Verteilt /books auf mehrere Datenbanken, sobald books.shards.urls gesetzt ist:
+ * der {@link ShardedBookStore} ersetzt dann den {@link JpaBookStore}.
+ * Import und Massen-Aenderungen ({@link ConditionalOnSingleDatabase}) sind dann abgeschaltet.
+ *
+ * Die Shard-DataSources sind bewusst keine eigenen Beans, damit die
+ * Haupt-DataSource fuer JPA weiterhin automatisch konfiguriert wird;
+ * der Store besitzt die Pools und schliesst sie beim Herunterfahren.
+ */
+@Configuration
+@ConditionalOnExpression("!'${books.shards.urls:}'.isEmpty()")
+public class ShardingConfig {
+
+    @Bean
+    public ShardedBookStore shardedBookStore(@Value("${books.shards.urls}") List<String> urls,
+                                             @Value("${books.shards.worker-id:0}") int workerId) {
+        List<DataSource> shards = urls.stream()
+                .map(url -> (DataSource) DataSourceBuilder.create().url(url.trim()).build())
+                .toList();
+        return new ShardedBookStore(shards, workerId);
+    }
+}
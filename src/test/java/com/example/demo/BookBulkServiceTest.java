@@ -0,0 +1,122 @@
+package com.example.demo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integrationstest für Massen-Änderungen
+ * Verwendet @DataJpaTest - echte In-Memory Datenbank (H2)!
+ */
+@DataJpaTest
+class BookBulkServiceTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private BookSearchIndex searchIndex;
+    private BookBulkService bulkService;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 5; i++) {
+            bookRepository.save(new Book("Martin Book " + i, "Martin"));
+        }
+        bookRepository.save(new Book("Effective Java", "Joshua Bloch"));
+
+        searchIndex = new BookSearchIndex(new JpaBookStore(bookRepository));
+        searchIndex.rebuild();
+        // kleine Blöcke, damit mehrere UPDATE/DELETE-Anweisungen nötig sind
+        bulkService = new BookBulkService(bookRepository, new BookReadCoalescer(new JpaBookStore(bookRepository)), searchIndex, 2);
+    }
+
+    /**
+     * Test 1: Autor im ganzen Katalog umbenennen
+     */
+    @Test
+    void testUpdate_RenamesAuthorAcrossChunks() {
+        // ACT
+        BookBulkService.BulkResult result = bulkService.update(null, "Martin", null, "Robert C. Martin");
+
+        // ASSERT: DB und Volltext-Index sind aktualisiert
+        assertEquals(5, result.affected());
+        List<Book> all = bookRepository.findAll();
+        assertEquals(5, all.stream().filter(b -> "Robert C. Martin".equals(b.getAuthor())).count());
+        assertEquals(5, searchIndex.search("robert", 10).size());
+        assertEquals("Joshua Bloch", all.stream()
+                .filter(b -> b.getTitle().equals("Effective Java")).findFirst().orElseThrow().getAuthor());
+    }
+
+    /**
+     * Test 2: Alle Bücher eines Autors löschen
+     */
+    @Test
+    void testDelete_RemovesMatchingBooksOnly() {
+        // ACT
+        BookBulkService.BulkResult result = bulkService.delete(null, "Martin");
+
+        // ASSERT
+        assertEquals(5, result.affected());
+        assertEquals(1, bookRepository.count());
+        assertEquals(1, searchIndex.size());
+        assertTrue(searchIndex.search("martin", 10).isEmpty());
+    }
+
+    /**
+     * Test 3: Ohne Filter bzw. ohne Änderung wird nichts ausgeführt
+     */
+    @Test
+    void testRequiresFilterAndChanges() {
+        assertThrows(IllegalArgumentException.class, () -> bulkService.delete(null, null));
+        assertThrows(IllegalArgumentException.class, () -> bulkService.update(null, "Martin", null, null));
+        assertEquals(6, bookRepository.count());
+    }
+
+    /**
+     * Test 4: Der Index folgt den Zeilen, die das UPDATE wirklich geändert hat
+     */
+    @Test
+    void testUpdate_IndexFollowsRowsActuallyChanged() {
+        // ARRANGE: die ID-Abfrage liefert zusätzlich ein Buch, dessen Autor sich inzwischen
+        // geändert hat - das UPDATE überspringt es wegen des wiederholten Filters
+        Long blochId = searchIndex.search("effective", 1).get(0).getId();
+        List<Long> lookup = new ArrayList<>(bookRepository.findIdsAfter(0, null, "Martin", PageRequest.of(0, 10)));
+        lookup.add(blochId);
+        BookRepository repo = mock(BookRepository.class, delegatesTo(bookRepository));
+        doReturn(lookup).when(repo).findIdsAfter(eq(0L), isNull(), eq("Martin"), any());
+        BookBulkService service = new BookBulkService(repo, new BookReadCoalescer(new JpaBookStore(repo)), searchIndex, 10);
+
+        // ACT
+        BookBulkService.BulkResult result = service.update(null, "Martin", null, "Robert C. Martin");
+
+        // ASSERT: DB und Index stimmen überein
+        assertEquals(5, result.affected());
+        assertEquals("Joshua Bloch", searchIndex.search("effective", 1).get(0).getAuthor());
+    }
+
+    /**
+     * Test 5: Bereits herausgegebene Suchtreffer werden nicht nachträglich verändert
+     */
+    @Test
+    void testUpdate_DoesNotMutateReturnedBooks() {
+        // ARRANGE
+        Book before = searchIndex.search("martin book 1", 1).get(0);
+
+        // ACT
+        bulkService.update(null, "Martin", null, "Robert C. Martin");
+
+        // ASSERT: alter Treffer unverändert, neue Suche liefert den neuen Stand
+        assertEquals("Martin", before.getAuthor());
+        assertEquals("Robert C. Martin", searchIndex.search("martin book 1", 1).get(0).getAuthor());
+    }
+}
@@ -4,7 +4,6 @@ package com.example.demo;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -25,7 +24,9 @@ class BookControllerTest {
     @Mock
     private BookRepository mockRepository;
 
-    @InjectMocks
+    @Mock
+    private BookSearchIndex mockSearchIndex;
+
     private BookController bookController;
 
     private Book testBook1;
@@ -33,6 +34,10 @@ class BookControllerTest {
 
     @BeforeEach
     void setUp() {
+        // echter Store und Coalescer vor dem gemockten Repository
+        BookStore store = new JpaBookStore(mockRepository);
+        bookController = new BookController(store, new BookReadCoalescer(store), mockSearchIndex);
+
         // Testdaten vorbereiten
         testBook1 = new Book("Clean Code", "Robert C. Martin");
         testBook2 = new Book("Effective Java", "Joshua Bloch");
@@ -165,4 +170,21 @@ class BookControllerTest {
         verify(mockRepository).findAll();
         verifyNoMoreInteractions(mockRepository);
     }
+
+    /**
+     * Test 7: Neues Buch landet im Volltext-Index
+     * Zeigt: Zusammenspiel zweier Mocks
+     */
+    @Test
+    void testAddBook_UpdatesSearchIndex() {
+        // ARRANGE
+        Book savedBook = new Book("Refactoring", "Martin Fowler");
+        when(mockRepository.save(any(Book.class))).thenReturn(savedBook);
+
+        // ACT
+        bookController.addBook(new Book("Refactoring", "Martin Fowler"));
+
+        // VERIFY: das gespeicherte (nicht das eingehende) Buch wird indiziert
+        verify(mockSearchIndex).add(savedBook);
+    }
 }
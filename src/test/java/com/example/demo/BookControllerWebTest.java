@@ -5,12 +5,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -36,6 +39,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
  * - Import: org.springframework.test.context.bean.override.mockito.MockitoBean
  */
 @WebMvcTest(BookController.class)
+@Import({JpaBookStore.class, BookReadCoalescer.class})  // echter Store und Coalescer vor dem gemockten Repository
 class BookControllerWebTest {
 
     @Autowired
@@ -47,6 +51,9 @@ class BookControllerWebTest {
     @MockitoBean  // Neu ab Spring Boot 3.4.0 (statt @MockBean)
     private BookRepository bookRepository;
 
+    @MockitoBean
+    private BookSearchIndex bookSearchIndex;
+
     private Book testBook1;
     private Book testBook2;
 
@@ -317,4 +324,84 @@ class BookControllerWebTest {
         // VERIFY
         verify(bookRepository, times(3)).findAll();
     }
+
+    /**
+     * Test 13: GET /books/fulltext - Volltextsuche
+     *
+     * Testet, dass die Suche ueber den Index und nicht ueber das Repository laeuft
+     */
+    @Test
+    void fulltext_ShouldReturnRankedBooksFromIndex() throws Exception {
+        // ARRANGE
+        when(bookSearchIndex.search("clean", 20)).thenReturn(Arrays.asList(testBook1));
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/books/fulltext").param("q", "clean"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is("Clean Code")));
+
+        // VERIFY
+        verify(bookSearchIndex).search("clean", 20);
+        verifyNoInteractions(bookRepository);
+    }
+
+    /**
+     * Test 14: GET /books/fulltext - ohne Suchbegriff
+     */
+    @Test
+    void fulltext_WithoutQuery_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/books/fulltext"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test 15: GET /books/fulltext - Limit außerhalb von 1..100
+     */
+    @Test
+    void fulltext_WithTooLargeLimit_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/books/fulltext").param("q", "a").param("limit", "1000000000"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/books/fulltext").param("q", "a").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookSearchIndex);
+    }
+
+    /**
+     * Test 16: GET /books/{id} - Buch über den Coalescer laden
+     */
+    @Test
+    void getById_ShouldReturnBook() throws Exception {
+        // ARRANGE
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook1));
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/books/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Clean Code")));
+
+        // VERIFY
+        verify(bookRepository).findById(1L);
+    }
+
+    /**
+     * Test 17: GET /books/coalescing - Kennzahlen abrufen
+     *
+     * Neuer Context, damit die Zähler des Coalescers bei 0 beginnen
+     */
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD)
+    void coalescingStats_ShouldReturnCounters() throws Exception {
+        // ARRANGE: ein einzelner Aufruf - nichts zum Teilen
+        when(bookRepository.findAll()).thenReturn(Arrays.asList(testBook1));
+        mockMvc.perform(get("/books")).andExpect(status().isOk());
+
+        // ACT & ASSERT
+        mockMvc.perform(get("/books/coalescing"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.executed", is(1)))
+                .andExpect(jsonPath("$.coalesced", is(0)))
+                .andExpect(jsonPath("$.inFlight", is(0)));
+    }
 }
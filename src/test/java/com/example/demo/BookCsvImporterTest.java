@@ -0,0 +1,165 @@
+package com.example.demo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integrationstest für den CSV-Import
+ * Verwendet @DataJpaTest - echte In-Memory Datenbank (H2), Dateien in einem temporären Verzeichnis
+ */
+@DataJpaTest
+class BookCsvImporterTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TempDir
+    Path importDir;
+
+    private BookSearchIndex searchIndex;
+    private BookCsvImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new BookSearchIndex(new JpaBookStore(bookRepository));
+        // kleine Blöcke, damit auch mehrere Blöcke und Checkpoints getestet werden
+        importer = new BookCsvImporter(jdbcTemplate, transactionTemplate, searchIndex,
+                new BookReadCoalescer(new JpaBookStore(bookRepository)), importDir, 2);
+    }
+
+    /**
+     * Test 1: CSV mit Kopfzeile und Anführungszeichen importieren
+     */
+    @Test
+    void testImportCsv() throws IOException {
+        Files.writeString(importDir.resolve("books.csv"), """
+                title,author
+                Clean Code,Robert C. Martin
+                "Refactoring, 2nd Edition",Martin Fowler
+                "The ""Pragmatic"" Programmer",Andrew Hunt
+                """);
+
+        BookCsvImporter.ImportResult result = importer.importFile("books.csv", 0);
+
+        assertEquals(3, result.rowsRead());
+        assertEquals(3, result.imported());
+        assertEquals(0, result.failed());
+        assertEquals(3, result.checkpoint());
+        assertEquals(3, bookRepository.count());
+        assertEquals("Refactoring, 2nd Edition", searchIndex.search("refactoring", 1).get(0).getTitle());
+        assertEquals("The \"Pragmatic\" Programmer", searchIndex.search("pragmatic", 1).get(0).getTitle());
+    }
+
+    /**
+     * Test 2: TSV ohne Kopfzeile, fehlerhafte Zeilen werden gemeldet statt den Import abzubrechen
+     */
+    @Test
+    void testImportTsv_ReportsRowErrors() throws IOException {
+        Files.writeString(importDir.resolve("books.tsv"), """
+                Effective Java\tJoshua Bloch
+                only one column
+                \tNo Title
+                Domain-Driven Design\tEric Evans
+                """);
+
+        BookCsvImporter.ImportResult result = importer.importFile("books.tsv", 0);
+
+        assertEquals(4, result.rowsRead());
+        assertEquals(2, result.imported());
+        assertEquals(2, result.failed());
+        assertEquals(2, result.errors().size());
+        assertEquals(2, result.errors().get(0).line());
+        assertEquals(3, result.errors().get(1).line());
+        assertEquals(2, bookRepository.count());
+    }
+
+    /**
+     * Test 3: Zu lange Felder werden als Zeilenfehler gemeldet, der Rest des Blocks wird gespeichert
+     */
+    @Test
+    void testImport_ReportsTooLongFieldsAsRowErrors() throws IOException {
+        Files.writeString(importDir.resolve("books.csv"), "Clean Code,Robert C. Martin\n"
+                + "x".repeat(BookCsvImporter.MAX_FIELD_LENGTH + 1) + ",Someone\n"
+                + "Refactoring,Martin Fowler\n");
+
+        BookCsvImporter.ImportResult result = importer.importFile("books.csv", 0);
+
+        assertFalse(result.aborted());
+        assertEquals(2, result.imported());
+        assertEquals(1, result.failed());
+        assertEquals(2, result.errors().get(0).line());
+        assertEquals(3, result.checkpoint());
+        assertEquals(2, bookRepository.count());
+    }
+
+    /**
+     * Test 4: Import ab einem Checkpoint fortsetzen
+     */
+    @Test
+    void testImport_ResumesFromCheckpoint() throws IOException {
+        String csv = IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> "Book " + i + ",Author " + i)
+                .collect(Collectors.joining("\n", "title,author\n", "\n"));
+        Files.writeString(importDir.resolve("books.csv"), csv);
+
+        BookCsvImporter.ImportResult result = importer.importFile("books.csv", 3);
+
+        assertEquals(2, result.imported());
+        assertEquals(5, result.checkpoint());
+        assertEquals(2, bookRepository.count());
+        assertEquals(1, searchIndex.search("book 4", 10).stream()
+                .filter(b -> b.getTitle().equals("Book 4")).count());
+    }
+
+    /**
+     * Test 5: Dateien außerhalb des Import-Verzeichnisses und negative Checkpoints werden abgelehnt
+     */
+    @Test
+    void testImport_RejectsPathOutsideImportDir() {
+        assertThrows(IllegalArgumentException.class, () -> importer.importFile("../secret.csv", 0));
+        assertThrows(NoSuchFileException.class, () -> importer.importFile("missing.csv", 0));
+        assertThrows(IllegalArgumentException.class, () -> importer.importFile("missing.csv", -1));
+    }
+
+    /**
+     * Test 6: Zwischenstand wird nach jedem Block gemeldet, IDs kommen aus dem Batch zurück
+     */
+    @Test
+    void testImport_ReportsProgressPerChunk() throws IOException {
+        Files.writeString(importDir.resolve("books.csv"), """
+                A,X
+                B,Y
+                C,Z
+                """);
+        List<BookCsvImporter.ImportResult> reports = new ArrayList<>();
+
+        importer.importFile("books.csv", 0, reports::add);
+
+        // Blockgröße 2: ein voller und ein halber Block
+        assertEquals(List.of(2L, 3L), reports.stream().map(BookCsvImporter.ImportResult::checkpoint).toList());
+        Book indexed = searchIndex.search("c", 1).get(0);
+        assertEquals("Z", bookRepository.findById(indexed.getId()).orElseThrow().getAuthor());
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.demo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit-Test für Import-Aufträge im Hintergrund
+ * Der Importer wird gemockt - keine Datei, keine Datenbank!
+ */
+@ExtendWith(MockitoExtension.class)
+class BookImportJobsTest {
+
+    @Mock
+    private BookCsvImporter mockImporter;
+
+    @InjectMocks
+    private BookImportJobs jobs;
+
+    @AfterEach
+    void tearDown() {
+        jobs.shutdown();
+    }
+
+    /**
+     * Test 1: Auftrag läuft im Hintergrund und meldet zum Schluss das Ergebnis
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStart_RunsInBackgroundAndReportsResult() throws Exception {
+        // ARRANGE: Importer meldet einen Zwischenstand und ist dann fertig
+        BookCsvImporter.ImportResult partial = new BookCsvImporter.ImportResult(1000, 1000, 0, 1000, false, List.of());
+        BookCsvImporter.ImportResult done = new BookCsvImporter.ImportResult(1500, 1499, 1, 1500, false, List.of());
+        when(mockImporter.importFile(eq("books.csv"), eq(0L), any(Consumer.class))).thenAnswer(inv -> {
+            inv.<Consumer<BookCsvImporter.ImportResult>>getArgument(2).accept(partial);
+            return done;
+        });
+
+        // ACT
+        BookImportJobs.Job job = jobs.start("books.csv", 0);
+
+        // ASSERT
+        assertEquals(BookImportJobs.State.RUNNING, job.state());
+        BookImportJobs.Job finished = awaitEnd(job.id());
+        assertEquals(BookImportJobs.State.DONE, finished.state());
+        assertEquals(1499, finished.progress().imported());
+    }
+
+    /**
+     * Test 2: Fehlende Datei wird sofort gemeldet, es entsteht kein Auftrag
+     */
+    @Test
+    void testStart_MissingFileFailsImmediately() throws IOException {
+        when(mockImporter.resolve("missing.csv")).thenThrow(new NoSuchFileException("missing.csv"));
+
+        assertThrows(NoSuchFileException.class, () -> jobs.start("missing.csv", 0));
+        assertTrue(jobs.find(1).isEmpty());
+    }
+
+    /**
+     * Test 3: Abgebrochener Import endet mit FAILED, der Checkpoint bleibt erhalten
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStart_AbortedImportFailsWithCheckpoint() throws Exception {
+        // ARRANGE: Datenbank hat den dritten Block abgelehnt
+        BookCsvImporter.ImportResult aborted = new BookCsvImporter.ImportResult(2000, 2000, 0, 2000, true,
+                List.of(new BookCsvImporter.RowError(2002, "chunk rejected by database: connection lost")));
+        when(mockImporter.importFile(eq("books.csv"), eq(0L), any(Consumer.class))).thenReturn(aborted);
+
+        // ACT
+        BookImportJobs.Job job = jobs.start("books.csv", 0);
+
+        // ASSERT
+        BookImportJobs.Job finished = awaitEnd(job.id());
+        assertEquals(BookImportJobs.State.FAILED, finished.state());
+        assertEquals(2000, finished.progress().checkpoint());
+        assertTrue(finished.error().contains("skip=2000"));
+    }
+
+    /**
+     * Test 4: Negativer Checkpoint wird sofort abgelehnt
+     */
+    @Test
+    void testStart_RejectsNegativeSkip() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> jobs.start("books.csv", -1));
+        verify(mockImporter, never()).resolve(any());
+        assertTrue(jobs.find(1).isEmpty());
+    }
+
+    private BookImportJobs.Job awaitEnd(long id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        BookImportJobs.Job job = jobs.find(id).orElseThrow();
+        while (job.state() == BookImportJobs.State.RUNNING && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            job = jobs.find(id).orElseThrow();
+        }
+        return job;
+    }
+}
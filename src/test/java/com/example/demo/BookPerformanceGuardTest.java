@@ -0,0 +1,156 @@
+package com.example.demo;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Performance-Wächter mit realistischer Datenmenge
+ *
+ * Die DB wird mit SEED_BOOKS Büchern gefüllt. Für jeden Endpunkt werden geprüft:
+ * - allokierte Bytes des aufrufenden Threads
+ * - Laufzeit
+ * Überschreitet eine Änderung ein Budget, schlägt der Build fehl.
+ *
+ * Wegen der Datenmenge und der Laufzeit-Budgets nicht Teil von mvn test,
+ * sondern nur über das Profil: mvn test -Pperf
+ * Die Anzahl SQL-Anweisungen je Endpunkt prüft BookStatementCountTest in jedem mvn test.
+ *
+ * Die Controller-Methoden werden direkt aufgerufen, damit nur die eigene Arbeit
+ * (und nicht die JSON-Serialisierung) gemessen wird.
+ * Die Budgets haben bewusst Luft für langsamere CI-Rechner.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:perf"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Tag("perf")
+class BookPerformanceGuardTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BookPerformanceGuardTest.class);
+
+    private static final int SEED_BOOKS = 200_000;
+    private static final int WARMUP = 20;
+    private static final int RUNS = 50;
+
+    private record Measurement<T>(T result, long allocatedBytes, long millis) {
+    }
+
+    @Autowired
+    private BookController bookController;
+
+    @Autowired
+    private BookSearchIndex searchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        // direkt per JDBC-Batch, sonst dauert das Befüllen länger als die Tests
+        List<Object[]> rows = new ArrayList<>(SEED_BOOKS);
+        for (int i = 0; i < SEED_BOOKS; i++) {
+            rows.add(new Object[]{"Generated Title " + i, "Author " + (i % 1000)});
+        }
+        jdbcTemplate.batchUpdate("insert into book (title, author) values (?, ?)", rows);
+        searchIndex.rebuild();
+    }
+
+    /**
+     * GET /books: Speicher wächst höchstens linear mit der Anzahl Bücher
+     */
+    @Test
+    void getAll_WithinBudget() {
+        bookController.getAll();
+
+        Measurement<List<Book>> m = measure(bookController::getAll);
+
+        assertEquals(jdbcTemplate.queryForObject("select count(*) from book", Integer.class), m.result().size());
+        assertBudget("getAll allocation", 1024L * SEED_BOOKS, m.allocatedBytes());
+        assertBudget("getAll millis", 5_000, m.millis());
+    }
+
+    /**
+     * GET /books/{id}: unabhängig von der Datenmenge
+     */
+    @Test
+    void byId_WithinBudget() {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "select id from book where author = 'Author 1' order by id limit " + RUNS, Long.class);
+        for (int i = 0; i < WARMUP; i++) {
+            bookController.byId(ids.get(0));
+        }
+
+        Measurement<Void> m = measure(() -> {
+            ids.forEach(bookController::byId);
+            return null;
+        });
+
+        assertBudget("byId allocation per call", 64 * 1024, m.allocatedBytes() / RUNS);
+        assertBudget("byId millis per call", 20, m.millis() / RUNS);
+    }
+
+    /**
+     * POST /books
+     */
+    @Test
+    void addBook_WithinBudget() {
+        for (int i = 0; i < WARMUP; i++) {
+            bookController.addBook(new Book("Warmup " + i, "Perf"));
+        }
+
+        Measurement<Void> m = measure(() -> {
+            for (int i = 0; i < RUNS; i++) {
+                bookController.addBook(new Book("Perf Book " + i, "Perf"));
+            }
+            return null;
+        });
+
+        assertBudget("addBook allocation per call", 64 * 1024, m.allocatedBytes() / RUNS);
+        assertBudget("addBook millis per call", 20, m.millis() / RUNS);
+    }
+
+    /**
+     * GET /books/fulltext: "author" steht in jedem Buch - schlechtester Fall für das Ranking
+     */
+    @Test
+    void fulltext_WithinBudget() {
+        for (int i = 0; i < WARMUP; i++) {
+            bookController.fulltext("author 42", 20);
+        }
+
+        Measurement<List<Book>> m = measure(() -> bookController.fulltext("author 42", 20));
+
+        assertEquals(20, m.result().size());
+        assertBudget("fulltext allocation", 128L * SEED_BOOKS, m.allocatedBytes());
+        assertBudget("fulltext millis", 100, m.millis());
+    }
+
+    private <T> Measurement<T> measure(Supplier<T> action) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        T result = action.get();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+        log.info("{} bytes, {} ms", allocated, millis);
+        return new Measurement<>(result, allocated, millis);
+    }
+
+    private static void assertBudget(String what, long budget, long actual) {
+        assertTrue(actual <= budget, what + " exceeded budget: " + actual + " > " + budget);
+    }
+}
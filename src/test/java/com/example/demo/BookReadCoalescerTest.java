@@ -0,0 +1,130 @@
+package com.example.demo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit-Test für den Single-Flight vor dem BookStore
+ * Der Store wird gemockt und blockiert, bis alle Aufrufer warten.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookReadCoalescerTest {
+
+    private static final int CALLERS = 8;
+
+    @Mock
+    private BookStore mockStore;
+
+    @InjectMocks
+    private BookReadCoalescer coalescer;
+
+    /**
+     * Test 1: Gleichzeitige findById-Aufrufe teilen sich eine Abfrage
+     */
+    @Test
+    void testConcurrentFindById_QueriesOnce() throws Exception {
+        // ARRANGE: die Abfrage hängt, bis alle anderen Aufrufer sich angehängt haben
+        Book book = new Book("Clean Code", "Robert C. Martin");
+        CountDownLatch release = new CountDownLatch(1);
+        when(mockStore.findById(1L)).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(book);
+        });
+
+        // ACT
+        List<Optional<Book>> results = runConcurrently(() -> coalescer.findById(1L), release);
+
+        // ASSERT: alle bekommen dasselbe Ergebnis, die DB sieht nur eine Abfrage
+        results.forEach(r -> assertSame(book, r.orElseThrow()));
+        verify(mockStore, times(1)).findById(1L);
+        assertEquals(1, coalescer.stats().executed());
+        assertEquals(CALLERS - 1, coalescer.stats().coalesced());
+        assertEquals(0, coalescer.stats().inFlight());
+    }
+
+    /**
+     * Test 2: Ein Fehler der geteilten Abfrage erreicht alle Wartenden
+     */
+    @Test
+    void testConcurrentFindAll_PropagatesFailure() throws Exception {
+        // ARRANGE
+        CountDownLatch release = new CountDownLatch(1);
+        when(mockStore.findAll()).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new IllegalStateException("db down");
+        });
+
+        // ACT
+        List<Object> results = runConcurrently(() -> {
+            try {
+                return coalescer.findAll();
+            } catch (IllegalStateException e) {
+                return e;
+            }
+        }, release);
+
+        // ASSERT
+        results.forEach(r -> assertInstanceOf(IllegalStateException.class, r));
+        verify(mockStore, times(1)).findAll();
+    }
+
+    /**
+     * Test 3: Nacheinander ausgeführte Aufrufe werden nicht zwischengespeichert
+     */
+    @Test
+    void testSequentialCalls_AreNotCached() {
+        // ARRANGE
+        when(mockStore.findAll()).thenReturn(Arrays.asList(new Book("Refactoring", "Martin Fowler")));
+
+        // ACT
+        coalescer.findAll();
+        coalescer.findAll();
+
+        // VERIFY
+        verify(mockStore, times(2)).findAll();
+        assertEquals(0, coalescer.stats().coalesced());
+    }
+
+    /**
+     * Startet CALLERS gleichzeitige Aufrufe und gibt die Abfrage erst frei,
+     * wenn sich alle außer dem ersten an die laufende Abfrage angehängt haben.
+     */
+    private <T> List<T> runConcurrently(Callable<T> call, CountDownLatch release) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(pool.submit(call));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (coalescer.stats().coalesced() < CALLERS - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(5, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
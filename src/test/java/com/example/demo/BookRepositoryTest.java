@@ -3,6 +3,7 @@ package com.example.demo;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.List;
 
@@ -80,5 +81,44 @@ class BookRepositoryTest {
         // ASSERT: Buch existiert nicht mehr
         assertFalse(bookRepository.findById(bookId).isPresent());
     }
-}
 
+    /**
+     * Test 5: IDs über Filter und Keyset-Paging ermitteln
+     */
+    @Test
+    void testFindIdsAfter_FiltersAndPages() {
+        // ARRANGE
+        Long first = bookRepository.save(new Book("Clean Code", "Robert C. Martin")).getId();
+        Long second = bookRepository.save(new Book("The Clean Coder", "Robert C. Martin")).getId();
+        bookRepository.save(new Book("Effective Java", "Joshua Bloch"));
+
+        // ACT & ASSERT: nur passende IDs, aufsteigend, höchstens eine Seite
+        assertEquals(List.of(first), bookRepository.findIdsAfter(0, null, "Robert C. Martin", PageRequest.of(0, 1)));
+        assertEquals(List.of(second), bookRepository.findIdsAfter(first, null, "Robert C. Martin", PageRequest.of(0, 1)));
+        assertTrue(bookRepository.findIdsAfter(second, null, "Robert C. Martin", PageRequest.of(0, 1)).isEmpty());
+    }
+
+    /**
+     * Test 6: Massen-Update und -Löschen als einzelne Anweisung
+     */
+    @Test
+    void testUpdateAndDeleteByIds() {
+        // ARRANGE
+        Long cleanCode = bookRepository.save(new Book("Clean Code", "Martin")).getId();
+        Long java = bookRepository.save(new Book("Effective Java", "Joshua Bloch")).getId();
+
+        // ACT: Filter passt nur auf ein Buch, obwohl beide IDs übergeben werden
+        int updated = bookRepository.updateByIds(List.of(cleanCode, java), null, "Martin", null, "Robert C. Martin");
+
+        // ASSERT: nur der Autor wurde geändert, der Titel bleibt
+        assertEquals(1, updated);
+        Book reloaded = bookRepository.findById(cleanCode).orElseThrow();
+        assertEquals("Clean Code", reloaded.getTitle());
+        assertEquals("Robert C. Martin", reloaded.getAuthor());
+
+        // ACT & ASSERT: Löschen
+        assertEquals(1, bookRepository.deleteByIds(List.of(cleanCode, java), "Effective Java", null));
+        assertFalse(bookRepository.findById(java).isPresent());
+        assertEquals(1, bookRepository.count());
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.demo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit-Test für den Volltext-Index
+ * Das Repository wird nur für den initialen Aufbau gebraucht und ist gemockt.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookSearchIndexTest {
+
+    @Mock
+    private BookRepository mockRepository;
+
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(mockRepository.findAll()).thenReturn(Arrays.asList(
+                book(1L, "Clean Code", "Robert C. Martin"),
+                book(2L, "The Clean Coder", "Robert C. Martin"),
+                book(3L, "Refactoring", "Martin Fowler"),
+                book(4L, "Effective Java", "Joshua Bloch")));
+        index = new BookSearchIndex(new JpaBookStore(mockRepository));
+        index.rebuild();
+    }
+
+    /**
+     * Test 1: Aufbau aus der Datenbank
+     */
+    @Test
+    void testRebuild_IndexesAllBooks() {
+        assertEquals(4, index.size());
+        verify(mockRepository).findAll();
+    }
+
+    /**
+     * Test 2: Groß-/Kleinschreibung und Satzzeichen spielen keine Rolle
+     */
+    @Test
+    void testSearch_IsCaseInsensitive() {
+        List<Book> result = index.search("EFFECTIVE, java!", 10);
+
+        assertEquals(1, result.size());
+        assertEquals("Effective Java", result.get(0).getTitle());
+    }
+
+    /**
+     * Test 3: Treffer im Titel ranken vor Treffern im Autor
+     */
+    @Test
+    void testSearch_TitleMatchRanksBeforeAuthorMatch() {
+        List<Book> result = index.search("martin", 10);
+
+        // "Martin" steht nur im Autor - alle drei Bücher, aber keins über Titel
+        assertEquals(3, result.size());
+
+        result = index.search("clean martin", 10);
+        assertEquals("Clean Code", result.get(0).getTitle());
+        assertEquals("Refactoring", result.get(2).getTitle());
+    }
+
+    /**
+     * Test 4: Letzter Begriff wird als Präfix gesucht
+     */
+    @Test
+    void testSearch_LastTermIsPrefix() {
+        List<Book> result = index.search("refact", 10);
+
+        assertEquals(1, result.size());
+        assertEquals("Refactoring", result.get(0).getTitle());
+    }
+
+    /**
+     * Test 5: Inkrementelles Hinzufügen und Entfernen
+     */
+    @Test
+    void testAddAndRemove() {
+        index.add(book(5L, "Domain-Driven Design", "Eric Evans"));
+        assertEquals(1, index.search("domain", 10).size());
+
+        index.remove(5L);
+        assertTrue(index.search("domain", 10).isEmpty());
+        assertEquals(4, index.size());
+    }
+
+    /**
+     * Test 6: Leere Anfrage und Limit
+     */
+    @Test
+    void testSearch_EmptyQueryAndLimit() {
+        assertTrue(index.search("  ", 10).isEmpty());
+        assertEquals(1, index.search("robert", 1).size());
+        // der Heap richtet sich nach der Trefferzahl, nicht nach dem Limit
+        assertEquals(2, index.search("robert", Integer.MAX_VALUE).size());
+    }
+
+    /**
+     * Test 7: Kurze letzte Begriffe werden nur exakt gesucht
+     */
+    @Test
+    void testSearch_ShortLastTermIsNotExpanded() {
+        index.add(book(5L, "R", "Ross Ihaka"));
+
+        // "r" darf nicht "refactoring", "robert" usw. mitziehen
+        List<Book> result = index.search("r", 10);
+
+        assertEquals(1, result.size());
+        assertEquals("R", result.get(0).getTitle());
+    }
+
+    /**
+     * Test 8: Während des Neuaufbaus hinzugefügte Bücher gehen nicht verloren
+     */
+    @Test
+    void testRebuild_KeepsBooksAddedWhileLoading() {
+        // ARRANGE: während findAll() läuft, kommt über addBook ein neues Buch hinzu
+        when(mockRepository.findAll()).thenAnswer(inv -> {
+            index.add(book(9L, "Concurrent Programming", "Doug Lea"));
+            return Arrays.asList(book(1L, "Clean Code", "Robert C. Martin"));
+        });
+
+        // ACT
+        index.rebuild();
+
+        // ASSERT: Schnappschuss aus der DB plus das nachgespielte Buch
+        assertEquals(2, index.size());
+        assertEquals(1, index.search("concurrent", 10).size());
+    }
+
+    private static Book book(Long id, String title, String author) {
+        Book book = new Book(title, author);
+        // die ID wird sonst von JPA vergeben
+        ReflectionTestUtils.setField(book, "id", id);
+        return book;
+    }
+}
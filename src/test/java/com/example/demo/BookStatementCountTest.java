@@ -0,0 +1,131 @@
+package com.example.demo;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Wächter für die Anzahl SQL-Anweisungen je Endpunkt (Hibernate Statistics) - findet N+1-Abfragen
+ *
+ * Die Zahlen hängen nicht von Rechner oder Last ab und laufen deshalb in jedem mvn test mit;
+ * ändert sich eine davon, schlägt der Build fehl.
+ * Speicher- und Laufzeit-Budgets mit großer Datenmenge: BookPerformanceGuardTest (mvn test -Pperf)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statements",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookStatementCountTest {
+
+    private static final int SEED_BOOKS = 2_000;
+    private static final int RUNS = 10;
+
+    @Autowired
+    private BookController bookController;
+
+    @Autowired
+    private BookSearchIndex searchIndex;
+
+    @Autowired
+    private BookBulkService bulkService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeAll
+    void seed() {
+        List<Object[]> rows = new ArrayList<>(SEED_BOOKS);
+        for (int i = 0; i < SEED_BOOKS; i++) {
+            rows.add(new Object[]{"Generated Title " + i, "Author " + (i % 1000)});
+        }
+        jdbcTemplate.batchUpdate("insert into book (title, author) values (?, ?)", rows);
+        searchIndex.rebuild();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * GET /books: genau eine Abfrage
+     */
+    @Test
+    void getAll_SingleQuery() {
+        statistics.clear();
+
+        bookController.getAll();
+
+        assertEquals(1, statistics.getPrepareStatementCount(), "statements for getAll");
+    }
+
+    /**
+     * GET /books/{id}: genau eine Abfrage je Aufruf
+     */
+    @Test
+    void byId_SingleQueryPerCall() {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "select id from book where author = 'Author 1' order by id", Long.class);
+        statistics.clear();
+
+        ids.forEach(bookController::byId);
+
+        assertEquals(ids.size(), statistics.getPrepareStatementCount(), "statements for byId");
+    }
+
+    /**
+     * POST /books: genau ein INSERT je Aufruf, kein vorheriges Laden
+     */
+    @Test
+    void addBook_SingleInsertPerCall() {
+        statistics.clear();
+
+        for (int i = 0; i < RUNS; i++) {
+            bookController.addBook(new Book("Counted Book " + i, "Counter"));
+        }
+
+        assertEquals(RUNS, statistics.getPrepareStatementCount(), "statements for addBook");
+    }
+
+    /**
+     * GET /books/fulltext: läuft komplett über den Index, keine Abfrage
+     */
+    @Test
+    void fulltext_NoQuery() {
+        statistics.clear();
+
+        List<Book> result = bookController.fulltext("author 42", 20);
+
+        assertEquals(20, result.size());
+        assertEquals(0, statistics.getPrepareStatementCount(), "statements for fulltext");
+    }
+
+    /**
+     * DELETE /books?author=...: mengenbasiert, keine Abfrage je Buch
+     */
+    @Test
+    void bulkDelete_SetBasedStatements() {
+        statistics.clear();
+
+        BookBulkService.BulkResult result = bulkService.delete(null, "Author 999");
+
+        // alle Treffer passen in einen Block: IDs lesen, DELETE, verbliebene IDs für den Index, leere Folgeseite
+        assertEquals(SEED_BOOKS / 1000, result.affected());
+        assertEquals(4, statistics.getPrepareStatementCount(), "statements for bulk delete");
+    }
+}
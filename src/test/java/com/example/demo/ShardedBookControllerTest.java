@@ -0,0 +1,74 @@
+package com.example.demo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integrationstest für /books mit Sharding
+ * Zwei H2-In-Memory-Datenbanken stehen für die Shards, die Haupt-Datenbank bleibt leer.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sharded-main",
+        "books.shards.urls=" + ShardedBookControllerTest.SHARD_0 + "," + ShardedBookControllerTest.SHARD_1
+})
+class ShardedBookControllerTest {
+
+    static final String SHARD_0 = "jdbc:h2:mem:books-shard0;DB_CLOSE_DELAY=-1";
+    static final String SHARD_1 = "jdbc:h2:mem:books-shard1;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private BookController bookController;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ApplicationContext context;
+
+    /**
+     * Test 1: addBook schreibt in den zuständigen Shard, byId und getAll lesen aus den Shards
+     */
+    @Test
+    void testBooksEndpoints_UseShards() {
+        List<Book> saved = IntStream.range(0, 50)
+                .mapToObj(i -> bookController.addBook(new Book("Sharded Book " + i, "Author " + i)))
+                .toList();
+
+        // jedes Buch liegt in genau einem Shard, beide Shards bekommen Schreibzugriffe
+        int inShard0 = count(SHARD_0);
+        int inShard1 = count(SHARD_1);
+        assertEquals(50, inShard0 + inShard1);
+        assertTrue(inShard0 > 0 && inShard1 > 0, "shards hold " + inShard0 + " and " + inShard1 + " books");
+        assertEquals(0, bookRepository.count());
+
+        assertEquals("Sharded Book 7", bookController.byId(saved.get(7).getId()).getTitle());
+        // getAll mischt die Shards nach ID - IDs sind aufsteigend wie die Einfügereihenfolge
+        assertEquals(saved.stream().map(Book::getId).toList(),
+                bookController.getAll().stream().map(Book::getId).toList());
+        assertEquals("Sharded Book 42", bookController.fulltext("sharded 42", 1).get(0).getTitle());
+    }
+
+    /**
+     * Test 2: Import und Massen-Änderungen schreiben direkt in die Haupt-Datenbank und sind abgeschaltet
+     */
+    @Test
+    void testSingleDatabaseBeans_AreDisabled() {
+        assertTrue(context.getBeansOfType(JpaBookStore.class).isEmpty());
+        assertTrue(context.getBeansOfType(BookBulkService.class).isEmpty());
+        assertTrue(context.getBeansOfType(BookCsvImporter.class).isEmpty());
+    }
+
+    private static int count(String url) {
+        return new JdbcTemplate(new DriverManagerDataSource(url))
+                .queryForObject("select count(*) from book", Integer.class);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.demo;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test für die Verteilung auf mehrere Datenbanken
+ * Drei eigenständige H2-In-Memory-Datenbanken stehen für die Shards.
+ */
+class ShardedBookStoreTest {
+
+    private static final int SHARDS = 3;
+
+    private List<DataSource> dataSources;
+    private ShardedBookStore store;
+
+    @BeforeEach
+    void setUp() {
+        // je Test neue, leere Datenbanken
+        String run = UUID.randomUUID().toString();
+        dataSources = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            dataSources.add(new DriverManagerDataSource("jdbc:h2:mem:shard" + i + "-" + run + ";DB_CLOSE_DELAY=-1"));
+        }
+        store = new ShardedBookStore(dataSources, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+        dataSources.forEach(ds -> new JdbcTemplate(ds).execute("shutdown"));
+    }
+
+    /**
+     * Test 1: Speichern und über die ID genau im richtigen Shard wiederfinden
+     */
+    @Test
+    void testSaveAndFindById() {
+        Book saved = store.save(new Book("Clean Code", "Robert C. Martin"));
+
+        assertNotNull(saved.getId());
+        assertEquals("Clean Code", store.findById(saved.getId()).orElseThrow().getTitle());
+        // das Buch liegt nur in einem Shard
+        assertEquals(1, dataSources.stream()
+                .mapToInt(ds -> new JdbcTemplate(ds).queryForObject("select count(*) from book", Integer.class))
+                .sum());
+        assertTrue(store.findById(saved.getId() + 1).isEmpty());
+    }
+
+    /**
+     * Test 2: Schreibzugriffe verteilen sich auf alle Shards
+     */
+    @Test
+    void testSave_SpreadsAcrossShards() {
+        IntStream.range(0, 300).forEach(i -> store.save(new Book("Book " + i, "Author " + (i % 3))));
+
+        for (DataSource ds : dataSources) {
+            int count = new JdbcTemplate(ds).queryForObject("select count(*) from book", Integer.class);
+            assertTrue(count > 50, "shard holds only " + count + " books");
+        }
+    }
+
+    /**
+     * Test 3: findAll fragt alle Shards und liefert eine global nach ID sortierte Liste
+     */
+    @Test
+    void testFindAll_MergesShardsInIdOrder() {
+        List<Book> saved = IntStream.range(0, 100).mapToObj(i -> store.save(new Book("Book " + i, "A"))).toList();
+        store.save(new Book("Effective Java", "Joshua Bloch"));
+
+        List<Book> all = store.findAll();
+
+        assertEquals(101, all.size());
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).getId() < all.get(i).getId());
+        }
+        // IDs sind zeitlich aufsteigend - die Reihenfolge entspricht der Einfügereihenfolge
+        assertEquals(saved.get(0).getId(), all.get(0).getId());
+        assertEquals("Effective Java", all.get(100).getTitle());
+        assertEquals(100, store.findByAuthor("A").size());
+    }
+
+    /**
+     * Test 4: IDs sind ohne Abstimmung eindeutig und aufsteigend
+     */
+    @Test
+    void testIdGenerator_UniqueAndIncreasing() {
+        ShardedBookStore.IdGenerator ids = new ShardedBookStore.IdGenerator(7);
+        Set<Long> seen = new HashSet<>();
+        long previous = -1;
+        for (int i = 0; i < 20_000; i++) {
+            long id = ids.next();
+            assertTrue(id > previous);
+            assertTrue(seen.add(id));
+            previous = id;
+        }
+        assertThrows(IllegalArgumentException.class, () -> new ShardedBookStore.IdGenerator(1024));
+    }
+
+    /**
+     * Test 5: Beim Herunterfahren werden die Verbindungspools der Shards geschlossen
+     */
+    @Test
+    void testShutdown_ClosesPools() {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:pooled-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        ShardedBookStore pooled = new ShardedBookStore(List.of(pool), 2);
+
+        pooled.shutdown();
+
+        assertTrue(pool.isClosed());
+    }
+}